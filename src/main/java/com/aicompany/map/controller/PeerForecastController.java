@@ -0,0 +1,37 @@
+package com.aicompany.map.controller;
+
+import com.aicompany.map.peer.PeerForecastRouter;
+import com.aicompany.map.service.ForecastUnavailableException;
+import com.aicompany.map.service.WeatherService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+/**
+ * Internal endpoint used by peer replicas to fetch forecasts for keys this
+ * replica owns on the hash ring.
+ */
+@RestController
+public class PeerForecastController {
+
+    private final WeatherService weatherService;
+
+    public PeerForecastController(WeatherService weatherService) {
+        this.weatherService = weatherService;
+    }
+
+    @GetMapping(PeerForecastRouter.INTERNAL_PATH)
+    public Mono<ResponseEntity<String>> getOwnedForecast(
+        @RequestParam String name,
+        @RequestParam String countrycode
+    ) {
+        return Mono.fromCallable(() -> ResponseEntity.ok(weatherService.getOwnedWeatherInfo(name, countrycode)))
+                .subscribeOn(reactor.core.scheduler.Schedulers.boundedElastic())
+                .onErrorResume(ForecastUnavailableException.class,
+                        error -> Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                                .header(PeerForecastRouter.UNAVAILABLE_HEADER, "true")
+                                .body(error.getMessage())))
+                .onErrorResume(error -> Mono.just(ResponseEntity.status(HttpStatus.BAD_GATEWAY).body(error.getMessage())));
+    }
+}
@@ -8,6 +8,7 @@ import reactor.core.publisher.Mono;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.JsonNode;
 import org.springframework.ai.tool.ToolCallbackProvider;
+import com.aicompany.map.service.WeatherService;
 
 import static org.springframework.web.reactive.function.server.RouterFunctions.route;
 import static org.springframework.web.reactive.function.server.RequestPredicates.POST;
@@ -18,11 +19,13 @@ public class McpServerHandler {
     private final ToolCallbackProvider toolProvider;
     private final ObjectMapper objectMapper;
     private final McpAuthenticationService authService;
+    private final WeatherService weatherService;
     
-    public McpServerHandler(ToolCallbackProvider toolProvider, ObjectMapper objectMapper, McpAuthenticationService authService) {
+    public McpServerHandler(ToolCallbackProvider toolProvider, ObjectMapper objectMapper, McpAuthenticationService authService, WeatherService weatherService) {
         this.toolProvider = toolProvider;
         this.objectMapper = objectMapper;
         this.authService = authService;
+        this.weatherService = weatherService;
     }
 
     public RouterFunction<ServerResponse> mcpRoutes() {
@@ -145,8 +148,6 @@ public class McpServerHandler {
 
     private String callWeatherTool(String cityName, String countryCode) {
         try {
-            // This is a simplified approach - in reality you'd want to get the actual tool from the provider
-            var weatherService = new com.aicompany.map.service.WeatherService();
             return weatherService.getWeatherInfo(cityName, countryCode);
         } catch (Exception e) {
             return "Error calling weather tool: " + e.getMessage();
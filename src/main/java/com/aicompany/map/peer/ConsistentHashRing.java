@@ -0,0 +1,59 @@
+package com.aicompany.map.peer;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Maps keys onto a fixed set of nodes. Each node is placed on the ring several
+ * times (virtual nodes) so keys spread evenly and only a small share of them
+ * moves when a node is added or removed.
+ */
+public class ConsistentHashRing {
+
+    private final SortedMap<Long, String> ring = new TreeMap<>();
+
+    public ConsistentHashRing(List<String> nodes, int virtualNodes) {
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("virtualNodes must be at least 1");
+        }
+        for (String node : nodes) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(hash(node + "#" + i), node);
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        return ring.isEmpty();
+    }
+
+    public String nodeFor(String key) {
+        if (ring.isEmpty()) {
+            throw new IllegalStateException("No nodes on the ring");
+        }
+        SortedMap<Long, String> tail = ring.tailMap(hash(key));
+        Map.Entry<Long, String> entry = tail.isEmpty()
+                ? ring.entrySet().iterator().next()
+                : tail.entrySet().iterator().next();
+        return entry.getValue();
+    }
+
+    // First 8 bytes of MD5: stable across JVMs, unlike String.hashCode()
+    private static long hash(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(value.getBytes(StandardCharsets.UTF_8));
+            long h = 0;
+            for (int i = 0; i < 8; i++) {
+                h = (h << 8) | (digest[i] & 0xFF);
+            }
+            return h;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 not available", e);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.aicompany.map.peer;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Small bounded cache with a per-entry time to live. Least recently used
+ * entries are evicted once maxEntries is reached.
+ */
+public class NearCache {
+
+    private final Duration ttl;
+    private final Clock clock;
+    private final Map<String, Entry> entries;
+
+    public NearCache(int maxEntries, Duration ttl) {
+        this(maxEntries, ttl, Clock.systemUTC());
+    }
+
+    NearCache(int maxEntries, Duration ttl, Clock clock) {
+        this.ttl = ttl;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public synchronized String get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (clock.millis() >= entry.expiresAt) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.value;
+    }
+
+    public synchronized void put(String key, String value) {
+        entries.put(key, new Entry(value, clock.millis() + ttl.toMillis()));
+    }
+
+    private record Entry(String value, long expiresAt) {
+    }
+}
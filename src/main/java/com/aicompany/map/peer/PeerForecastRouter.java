@@ -0,0 +1,181 @@
+package com.aicompany.map.peer;
+
+import com.aicompany.map.service.ForecastUnavailableException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Exceptions;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Optional peer mode: forecast keys are partitioned across the replicas listed
+ * in weather.peer.nodes. The owner of a key fetches from Open-Meteo and caches
+ * the answer; other replicas ask the owner and keep a short-lived near-cache.
+ * With peer mode disabled every call goes straight to the loader.
+ */
+@Component
+public class PeerForecastRouter {
+
+    private static final Logger log = LoggerFactory.getLogger(PeerForecastRouter.class);
+
+    public static final String INTERNAL_PATH = "/internal/forecast";
+    // Set only by the internal endpoint, so a plain 404 from a node without it is not read as "no forecast"
+    public static final String UNAVAILABLE_HEADER = "X-Forecast-Unavailable";
+
+    private final boolean enabled;
+    private final String self;
+    private final ConsistentHashRing ring;
+    private final NearCache ownedCache;
+    private final NearCache nearCache;
+    private final Map<String, CompletableFuture<String>> ownedLoads = new ConcurrentHashMap<>();
+    private final Duration peerTimeout;
+    private final WebClient peerClient;
+
+    public PeerForecastRouter(
+            @Value("${weather.peer.enabled:false}") boolean enabled,
+            @Value("${weather.peer.self:http://localhost:${server.port:8080}}") String self,
+            @Value("${weather.peer.nodes:}") List<String> nodes,
+            @Value("${weather.peer.virtual-nodes:100}") int virtualNodes,
+            @Value("${weather.peer.owned-cache.max-entries:1024}") int ownedMaxEntries,
+            @Value("${weather.peer.owned-cache.ttl:10m}") Duration ownedTtl,
+            @Value("${weather.peer.near-cache.max-entries:256}") int nearMaxEntries,
+            @Value("${weather.peer.near-cache.ttl:1m}") Duration nearTtl,
+            @Value("${weather.peer.timeout:2s}") Duration peerTimeout) {
+        this.self = normalize(self);
+        List<String> members = nodes.stream()
+                .filter(node -> node != null && !node.isBlank())
+                .map(PeerForecastRouter::normalize)
+                .distinct()
+                .toList();
+        if (enabled && !members.contains(this.self)) {
+            throw new IllegalStateException("weather.peer.self " + this.self + " is not listed in weather.peer.nodes");
+        }
+        this.enabled = enabled;
+        this.ring = new ConsistentHashRing(members, virtualNodes);
+        this.ownedCache = new NearCache(ownedMaxEntries, ownedTtl);
+        this.nearCache = new NearCache(nearMaxEntries, nearTtl);
+        this.peerTimeout = peerTimeout;
+        this.peerClient = WebClient.builder().build();
+    }
+
+    public String get(String name, String countrycode, Supplier<String> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        String key = key(name, countrycode);
+        String owner = ring.nodeFor(key);
+        if (owner.equals(self)) {
+            return getOwned(key, loader);
+        }
+
+        String cached = nearCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        String value = fetchFromOwner(owner, name, countrycode);
+        if (value == null) {
+            // Owner unreachable or too slow: answer locally rather than fail the caller
+            value = loader.get();
+        }
+        nearCache.put(key, value);
+        return value;
+    }
+
+    /**
+     * Answers as the owner of the key, regardless of this replica's view of
+     * the ring, so requests on the internal endpoint are never forwarded again.
+     */
+    public String getOwned(String name, String countrycode, Supplier<String> loader) {
+        return getOwned(key(name, countrycode), loader);
+    }
+
+    private String getOwned(String key, Supplier<String> loader) {
+        String cached = ownedCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        // Single-flight: concurrent misses for the same key share one upstream fetch
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        CompletableFuture<String> inFlight = ownedLoads.putIfAbsent(key, pending);
+        if (inFlight != null) {
+            return await(inFlight);
+        }
+        try {
+            String value = loader.get();
+            ownedCache.put(key, value);
+            pending.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            pending.completeExceptionally(e);
+            throw e;
+        } finally {
+            ownedLoads.remove(key, pending);
+        }
+    }
+
+    private static String await(CompletableFuture<String> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private String fetchFromOwner(String owner, String name, String countrycode) {
+        try {
+            return peerClient.get()
+                    .uri(owner + INTERNAL_PATH + "?name={name}&countrycode={countrycode}", name, countrycode)
+                    .retrieve()
+                    .bodyToMono(String.class)
+                    .timeout(peerTimeout)
+                    .block();
+        } catch (WebClientResponseException.NotFound e) {
+            if (e.getHeaders().containsKey(UNAVAILABLE_HEADER)) {
+                throw new ForecastUnavailableException(e.getResponseBodyAsString());
+            }
+            log.warn("Peer owner {} does not serve {}, fetching {}, {} locally", owner, INTERNAL_PATH, name, countrycode);
+            return null;
+        } catch (WebClientResponseException e) {
+            // Owner is reachable but its own fetch failed; a local retry would hit upstream twice
+            String body = e.getResponseBodyAsString();
+            log.debug("Peer owner {} answered {} for {}, {}", owner, e.getStatusCode(), name, countrycode);
+            throw new IllegalStateException(body.isBlank() ? e.getMessage() : body, e);
+        } catch (WebClientRequestException e) {
+            log.warn("Peer owner {} unreachable, fetching {}, {} locally", owner, name, countrycode, e);
+            return null;
+        } catch (RuntimeException e) {
+            if (Exceptions.unwrap(e) instanceof TimeoutException) {
+                log.warn("Peer owner {} timed out after {}, fetching {}, {} locally", owner, peerTimeout, name, countrycode);
+                return null;
+            }
+            throw e;
+        }
+    }
+
+    static String key(String name, String countrycode) {
+        return Objects.toString(name, "").trim().toLowerCase(Locale.ROOT)
+                + "|" + Objects.toString(countrycode, "").trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static String normalize(String node) {
+        String trimmed = node.trim();
+        return trimmed.endsWith("/") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+    }
+}
@@ -0,0 +1,12 @@
+package com.aicompany.map.service;
+
+/**
+ * Thrown when Open-Meteo answers but has no forecast for the requested city.
+ * The message is returned to the caller as-is; the result is never cached.
+ */
+public class ForecastUnavailableException extends RuntimeException {
+
+    public ForecastUnavailableException(String message) {
+        super(message);
+    }
+}
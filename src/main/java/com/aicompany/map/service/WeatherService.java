@@ -4,6 +4,7 @@ import com.aicompany.map.models.CityResponse;
 import com.aicompany.map.models.GeocodingResponse;
 import com.aicompany.map.models.WeatherResponse;
 import com.aicompany.map.models.DailyForecast;
+import com.aicompany.map.peer.PeerForecastRouter;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.ai.tool.annotation.Tool;
@@ -15,8 +16,10 @@ public class WeatherService {
 
     private final WebClient geocodingClient;
     private final WebClient weatherClient;
+    private final PeerForecastRouter peerRouter;
     
-    public WeatherService() {
+    public WeatherService(PeerForecastRouter peerRouter) {
+        this.peerRouter = peerRouter;
         this.geocodingClient = WebClient.builder()
             .baseUrl("https://geocoding-api.open-meteo.com")
             .build();
@@ -29,56 +32,67 @@ public class WeatherService {
     @Tool(description = "Get temperature forecast for a city for the next days in celsius")
     public String getWeatherInfo(String name, String countrycode) {
         try {
-            GeocodingResponse geocodingResponse = geocodingClient.get()
-                    .uri(uriBuilder -> uriBuilder
-                            .path("/v1/search")
-                            .queryParam("name", name)
-                            .queryParam("countryCode", countrycode)
-                            .queryParam("language", "en")
-                            .queryParam("format", "json")
-                            .build())
-                    .retrieve()
-                    .bodyToMono(GeocodingResponse.class)
-                    .block();
+            return peerRouter.get(name, countrycode, () -> fetchForecast(name, countrycode));
+        } catch (ForecastUnavailableException e) {
+            return e.getMessage();
+        } catch (Exception e) {
+            return "Error fetching weather data for " + name + ", " + countrycode + ": " + e.getMessage();
+        }
+    }
+
+    // Called by peer replicas; answers as the owner and never forwards
+    public String getOwnedWeatherInfo(String name, String countrycode) {
+        return peerRouter.getOwned(name, countrycode, () -> fetchForecast(name, countrycode));
+    }
 
-            if (geocodingResponse == null || geocodingResponse.getResults() == null || geocodingResponse.getResults().isEmpty()) {
-                return "No results found for " + name + ", " + countrycode;
-            }
+    // Errors and empty answers propagate as exceptions so they are never cached
+    private String fetchForecast(String name, String countrycode) {
+        GeocodingResponse geocodingResponse = geocodingClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/v1/search")
+                        .queryParam("name", name)
+                        .queryParam("countryCode", countrycode)
+                        .queryParam("language", "en")
+                        .queryParam("format", "json")
+                        .build())
+                .retrieve()
+                .bodyToMono(GeocodingResponse.class)
+                .block();
 
-            CityResponse firstResult = geocodingResponse.getResults().get(0);
+        if (geocodingResponse == null || geocodingResponse.getResults() == null || geocodingResponse.getResults().isEmpty()) {
+            throw new ForecastUnavailableException("No results found for " + name + ", " + countrycode);
+        }
 
-            WeatherResponse weatherResponse = weatherClient.get()
-                    .uri(uriBuilder -> uriBuilder
-                            .path("/v1/forecast")
-                            .queryParam("latitude", firstResult.getLatitude())
-                            .queryParam("longitude", firstResult.getLongitude())
-                            .queryParam("daily", "temperature_2m_mean")
-                            .build())
-                    .retrieve()
-                    .bodyToMono(WeatherResponse.class)
-                    .block();
+        CityResponse firstResult = geocodingResponse.getResults().get(0);
 
-            if (weatherResponse == null || weatherResponse.getDaily() == null) {
-                return "No weather data available";
-            }
+        WeatherResponse weatherResponse = weatherClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/v1/forecast")
+                        .queryParam("latitude", firstResult.getLatitude())
+                        .queryParam("longitude", firstResult.getLongitude())
+                        .queryParam("daily", "temperature_2m_mean")
+                        .build())
+                .retrieve()
+                .bodyToMono(WeatherResponse.class)
+                .block();
 
-            List<String> dates = weatherResponse.getDaily().getTime();
-            List<Double> temperatures = weatherResponse.getDaily().getTemperature2mMean();
-            
-            // Create a list of DailyForecast objects mapping each date to its temperature
-            List<DailyForecast> forecasts = IntStream.range(0, Math.min(dates.size(), temperatures.size()))
-                    .mapToObj(i -> new DailyForecast(dates.get(i), temperatures.get(i)))
-                    .toList();
-            
-            // Return as a formatted string showing each date-temperature pair
-            return forecasts.stream()
-                    .map(DailyForecast::toString)
-                    .reduce((a, b) -> a + ", " + b)
-                    .orElse("No forecast data available");
-                    
-        } catch (Exception e) {
-            return "Error fetching weather data for " + name + ", " + countrycode + ": " + e.getMessage();
+        if (weatherResponse == null || weatherResponse.getDaily() == null) {
+            throw new ForecastUnavailableException("No weather data available");
         }
+
+        List<String> dates = weatherResponse.getDaily().getTime();
+        List<Double> temperatures = weatherResponse.getDaily().getTemperature2mMean();
+        
+        // Create a list of DailyForecast objects mapping each date to its temperature
+        List<DailyForecast> forecasts = IntStream.range(0, Math.min(dates.size(), temperatures.size()))
+                .mapToObj(i -> new DailyForecast(dates.get(i), temperatures.get(i)))
+                .toList();
+        
+        // Return as a formatted string showing each date-temperature pair
+        return forecasts.stream()
+                .map(DailyForecast::toString)
+                .reduce((a, b) -> a + ", " + b)
+                .orElseThrow(() -> new ForecastUnavailableException("No forecast data available"));
     }
 
 }
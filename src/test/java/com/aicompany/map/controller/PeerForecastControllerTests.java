@@ -0,0 +1,49 @@
+package com.aicompany.map.controller;
+
+import com.aicompany.map.peer.PeerForecastRouter;
+import com.aicompany.map.service.ForecastUnavailableException;
+import com.aicompany.map.service.WeatherService;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PeerForecastControllerTests {
+
+	private final WeatherService weatherService = mock(WeatherService.class);
+	private final WebTestClient client = WebTestClient.bindToController(new PeerForecastController(weatherService)).build();
+
+	@Test
+	void servesOwnedForecast() {
+		when(weatherService.getOwnedWeatherInfo("Berlin", "DE")).thenReturn("forecast");
+
+		client.get().uri(PeerForecastRouter.INTERNAL_PATH + "?name=Berlin&countrycode=DE")
+				.exchange()
+				.expectStatus().isOk()
+				.expectHeader().doesNotExist(PeerForecastRouter.UNAVAILABLE_HEADER)
+				.expectBody(String.class).isEqualTo("forecast");
+	}
+
+	@Test
+	void marksNoForecastSoPeersCanTellItFromAMissingEndpoint() {
+		when(weatherService.getOwnedWeatherInfo("Atlantis", "XX"))
+				.thenThrow(new ForecastUnavailableException("No results found for Atlantis, XX"));
+
+		client.get().uri(PeerForecastRouter.INTERNAL_PATH + "?name=Atlantis&countrycode=XX")
+				.exchange()
+				.expectStatus().isNotFound()
+				.expectHeader().valueEquals(PeerForecastRouter.UNAVAILABLE_HEADER, "true")
+				.expectBody(String.class).isEqualTo("No results found for Atlantis, XX");
+	}
+
+	@Test
+	void reportsOwnerFailureAsBadGateway() {
+		when(weatherService.getOwnedWeatherInfo("Berlin", "DE")).thenThrow(new IllegalStateException("upstream down"));
+
+		client.get().uri(PeerForecastRouter.INTERNAL_PATH + "?name=Berlin&countrycode=DE")
+				.exchange()
+				.expectStatus().isEqualTo(502)
+				.expectHeader().doesNotExist(PeerForecastRouter.UNAVAILABLE_HEADER);
+	}
+}
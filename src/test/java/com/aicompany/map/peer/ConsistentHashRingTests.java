@@ -0,0 +1,50 @@
+package com.aicompany.map.peer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConsistentHashRingTests {
+
+	private static final List<String> NODES = List.of("http://localhost:8081", "http://localhost:8082", "http://localhost:8083");
+
+	@Test
+	void sameKeyMapsToSameNodeOnEveryReplica() {
+		ConsistentHashRing first = new ConsistentHashRing(NODES, 100);
+		ConsistentHashRing second = new ConsistentHashRing(List.of(NODES.get(2), NODES.get(0), NODES.get(1)), 100);
+
+		for (int i = 0; i < 200; i++) {
+			String key = "city" + i + "|DE";
+			assertEquals(first.nodeFor(key), second.nodeFor(key));
+		}
+	}
+
+	@Test
+	void removingANodeOnlyMovesItsKeys() {
+		ConsistentHashRing full = new ConsistentHashRing(NODES, 100);
+		ConsistentHashRing reduced = new ConsistentHashRing(NODES.subList(0, 2), 100);
+
+		for (int i = 0; i < 200; i++) {
+			String key = "city" + i + "|DE";
+			String owner = full.nodeFor(key);
+			if (!owner.equals(NODES.get(2))) {
+				assertEquals(owner, reduced.nodeFor(key));
+			}
+		}
+	}
+
+	@Test
+	void everyNodeOwnsSomeKeys() {
+		ConsistentHashRing ring = new ConsistentHashRing(NODES, 100);
+		Set<String> owners = new HashSet<>();
+		for (int i = 0; i < 200; i++) {
+			owners.add(ring.nodeFor("city" + i + "|DE"));
+		}
+		assertTrue(owners.containsAll(NODES));
+	}
+}
@@ -0,0 +1,66 @@
+package com.aicompany.map.peer;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class NearCacheTests {
+
+	@Test
+	void entriesExpireAfterTtl() {
+		MutableClock clock = new MutableClock();
+		NearCache cache = new NearCache(10, Duration.ofSeconds(60), clock);
+
+		cache.put("berlin|DE", "forecast");
+		clock.advance(Duration.ofSeconds(59));
+		assertEquals("forecast", cache.get("berlin|DE"));
+
+		clock.advance(Duration.ofSeconds(1));
+		assertNull(cache.get("berlin|DE"));
+	}
+
+	@Test
+	void leastRecentlyUsedEntryIsEvicted() {
+		NearCache cache = new NearCache(2, Duration.ofMinutes(1), new MutableClock());
+
+		cache.put("a", "1");
+		cache.put("b", "2");
+		cache.get("a");
+		cache.put("c", "3");
+
+		assertEquals("1", cache.get("a"));
+		assertNull(cache.get("b"));
+		assertEquals("3", cache.get("c"));
+	}
+
+	private static class MutableClock extends Clock {
+
+		private Instant now = Instant.EPOCH;
+
+		void advance(Duration duration) {
+			now = now.plus(duration);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return now;
+		}
+	}
+}
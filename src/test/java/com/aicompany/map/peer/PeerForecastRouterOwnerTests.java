@@ -0,0 +1,161 @@
+package com.aicompany.map.peer;
+
+import com.aicompany.map.service.ForecastUnavailableException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Runs the router as a non-owner against a fake owner replica listening on an
+ * ephemeral local port.
+ */
+class PeerForecastRouterOwnerTests {
+
+	private static final String SELF = "http://localhost:8081";
+
+	private HttpServer owner;
+	private String ownerUrl;
+	private final AtomicInteger ownerCalls = new AtomicInteger();
+	private volatile OwnerResponse response;
+
+	@BeforeEach
+	void startOwner() throws IOException {
+		owner = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		owner.createContext("/", this::handle);
+		owner.start();
+		ownerUrl = "http://127.0.0.1:" + owner.getAddress().getPort();
+	}
+
+	@AfterEach
+	void stopOwner() {
+		owner.stop(0);
+	}
+
+	@Test
+	void nonOwnerGetsForecastFromLiveOwnerAndKeepsNearCache() {
+		response = new OwnerResponse(200, "owner forecast", false, 0);
+		PeerForecastRouter router = router(Duration.ofSeconds(2));
+		CountingLoader loader = new CountingLoader();
+		String[] city = cityOwnedByOwner();
+
+		assertEquals("owner forecast", router.get(city[0], city[1], loader));
+		assertEquals("owner forecast", router.get(city[0], city[1], loader));
+
+		assertEquals(1, ownerCalls.get());
+		assertEquals(0, loader.calls.get());
+	}
+
+	@Test
+	void markedNotFoundBecomesForecastUnavailableWithoutLocalFetch() {
+		response = new OwnerResponse(404, "No results found for Atlantis, XX", true, 0);
+		CountingLoader loader = new CountingLoader();
+		String[] city = cityOwnedByOwner();
+
+		ForecastUnavailableException error = assertThrows(ForecastUnavailableException.class,
+				() -> router(Duration.ofSeconds(2)).get(city[0], city[1], loader));
+
+		assertEquals("No results found for Atlantis, XX", error.getMessage());
+		assertEquals(0, loader.calls.get());
+	}
+
+	@Test
+	void unmarkedNotFoundFallsBackLocally() {
+		response = new OwnerResponse(404, "{\"status\":404,\"error\":\"Not Found\"}", false, 0);
+		CountingLoader loader = new CountingLoader();
+		String[] city = cityOwnedByOwner();
+
+		assertEquals("local forecast", router(Duration.ofSeconds(2)).get(city[0], city[1], loader));
+
+		assertEquals(1, ownerCalls.get());
+		assertEquals(1, loader.calls.get());
+	}
+
+	@Test
+	void ownerServerErrorIsPassedThroughWithoutLocalFetch() {
+		response = new OwnerResponse(502, "upstream down", false, 0);
+		CountingLoader loader = new CountingLoader();
+		String[] city = cityOwnedByOwner();
+
+		IllegalStateException error = assertThrows(IllegalStateException.class,
+				() -> router(Duration.ofSeconds(2)).get(city[0], city[1], loader));
+
+		assertEquals("upstream down", error.getMessage());
+		assertEquals(0, loader.calls.get());
+	}
+
+	@Test
+	void slowOwnerTimesOutAndFallsBackLocally() {
+		response = new OwnerResponse(200, "owner forecast", false, 1000);
+		CountingLoader loader = new CountingLoader();
+		String[] city = cityOwnedByOwner();
+
+		assertEquals("local forecast", router(Duration.ofMillis(200)).get(city[0], city[1], loader));
+
+		assertEquals(1, loader.calls.get());
+	}
+
+	private PeerForecastRouter router(Duration timeout) {
+		return new PeerForecastRouter(true, SELF, List.of(SELF, ownerUrl), 100,
+				16, Duration.ofMinutes(10), 16, Duration.ofMinutes(1), timeout);
+	}
+
+	private String[] cityOwnedByOwner() {
+		ConsistentHashRing ring = new ConsistentHashRing(List.of(SELF, ownerUrl), 100);
+		for (int i = 0; ; i++) {
+			String name = "city" + i;
+			if (ring.nodeFor(PeerForecastRouter.key(name, "DE")).equals(ownerUrl)) {
+				return new String[] {name, "DE"};
+			}
+		}
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		ownerCalls.incrementAndGet();
+		OwnerResponse current = response;
+		try {
+			Thread.sleep(current.delayMillis());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		byte[] body = current.body().getBytes(StandardCharsets.UTF_8);
+		if (current.unavailable()) {
+			exchange.getResponseHeaders().add(PeerForecastRouter.UNAVAILABLE_HEADER, "true");
+		}
+		try {
+			exchange.sendResponseHeaders(current.status(), body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		} catch (IOException e) {
+			// Client gave up (timeout test)
+		}
+	}
+
+	private record OwnerResponse(int status, String body, boolean unavailable, long delayMillis) {
+	}
+
+	private static class CountingLoader implements Supplier<String> {
+
+		private final AtomicInteger calls = new AtomicInteger();
+
+		@Override
+		public String get() {
+			calls.incrementAndGet();
+			return "local forecast";
+		}
+	}
+}
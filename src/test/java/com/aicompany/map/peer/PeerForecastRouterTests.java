@@ -0,0 +1,139 @@
+package com.aicompany.map.peer;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PeerForecastRouterTests {
+
+	private static final String SELF = "http://localhost:8081";
+	// Nothing listens on port 1, so connecting to this owner fails straight away
+	private static final String UNREACHABLE = "http://127.0.0.1:1";
+
+	@Test
+	void disabledModePassesThroughToLoader() {
+		PeerForecastRouter router = router(false, List.of());
+		CountingLoader loader = new CountingLoader();
+
+		router.get("Berlin", "DE", loader);
+		router.get("Berlin", "DE", loader);
+
+		assertEquals(2, loader.calls.get());
+	}
+
+	@Test
+	void ownerServesRepeatedRequestsFromItsCache() {
+		PeerForecastRouter router = router(true, List.of(SELF));
+		CountingLoader loader = new CountingLoader();
+
+		assertEquals("forecast", router.get("Berlin", "DE", loader));
+		assertEquals("forecast", router.get(" berlin ", "de", loader));
+
+		assertEquals(1, loader.calls.get());
+	}
+
+	@Test
+	void ownerCoalescesConcurrentMisses() throws Exception {
+		PeerForecastRouter router = router(true, List.of(SELF));
+		AtomicInteger calls = new AtomicInteger();
+		CountDownLatch release = new CountDownLatch(1);
+		Supplier<String> slowLoader = () -> {
+			calls.incrementAndGet();
+			try {
+				release.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return "forecast";
+		};
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<String>> results = new ArrayList<>();
+			for (int i = 0; i < 4; i++) {
+				results.add(executor.submit(() -> router.getOwned("Berlin", "DE", slowLoader)));
+			}
+			// Give the other requests time to join the in-flight load before it completes
+			Thread.sleep(200);
+			release.countDown();
+			for (Future<String> result : results) {
+				assertEquals("forecast", result.get(5, TimeUnit.SECONDS));
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertEquals(1, calls.get());
+	}
+
+	@Test
+	void ownerDoesNotCacheFailures() {
+		PeerForecastRouter router = router(true, List.of(SELF));
+		AtomicInteger calls = new AtomicInteger();
+		Supplier<String> failing = () -> {
+			calls.incrementAndGet();
+			throw new IllegalStateException("upstream down");
+		};
+
+		assertThrows(IllegalStateException.class, () -> router.get("Berlin", "DE", failing));
+		assertThrows(IllegalStateException.class, () -> router.get("Berlin", "DE", failing));
+
+		assertEquals(2, calls.get());
+	}
+
+	@Test
+	void nonOwnerFallsBackLocallyWhenOwnerUnreachableAndKeepsNearCache() {
+		List<String> nodes = List.of(SELF, UNREACHABLE);
+		PeerForecastRouter router = router(true, nodes);
+		String[] city = cityOwnedBy(UNREACHABLE, nodes);
+		CountingLoader loader = new CountingLoader();
+
+		assertEquals("forecast", router.get(city[0], city[1], loader));
+		assertEquals("forecast", router.get(city[0], city[1], loader));
+
+		assertEquals(1, loader.calls.get());
+	}
+
+	@Test
+	void constructorRejectsSelfMissingFromNodes() {
+		assertThrows(IllegalStateException.class, () -> router(true, List.of(UNREACHABLE)));
+	}
+
+	private static PeerForecastRouter router(boolean enabled, List<String> nodes) {
+		return new PeerForecastRouter(enabled, SELF, nodes, 100,
+				16, Duration.ofMinutes(10), 16, Duration.ofMinutes(1), Duration.ofSeconds(2));
+	}
+
+	private static String[] cityOwnedBy(String owner, List<String> nodes) {
+		ConsistentHashRing ring = new ConsistentHashRing(nodes, 100);
+		for (int i = 0; ; i++) {
+			String name = "city" + i;
+			if (ring.nodeFor(PeerForecastRouter.key(name, "DE")).equals(owner)) {
+				return new String[] {name, "DE"};
+			}
+		}
+	}
+
+	private static class CountingLoader implements Supplier<String> {
+
+		private final AtomicInteger calls = new AtomicInteger();
+
+		@Override
+		public String get() {
+			calls.incrementAndGet();
+			return "forecast";
+		}
+	}
+}